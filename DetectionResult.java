@@ -0,0 +1,43 @@
+package language;
+
+/**
+ * Resultado de uma detecção de idioma: o código do idioma, a distância euclidiana ao perfil
+ * e a confiança normalizada (entre 0 e 1, somando 1 entre os perfis candidatos comparados).
+ * A confiança é relativa aos candidatos; para saber se o texto se parece com o perfil, use a distância.
+ */
+public class DetectionResult {
+
+    private final String langCode;
+    private final double distance;
+    private final double confidence;
+
+    public DetectionResult(String langCode, double distance, double confidence) {
+        this.langCode = langCode;
+        this.distance = distance;
+        this.confidence = confidence;
+    }
+
+    public String getLangCode() {
+        return langCode;
+    }
+
+    /**
+     * Distância euclidiana entre as frequências do texto e o perfil; é a medida absoluta de semelhança.
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * Participação do idioma entre os candidatos da mesma escrita comparados na detecção (entre 0 e 1).
+     * Não é comparável entre textos de escritas diferentes e vale 1 quando há um único candidato.
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+
+    @Override
+    public String toString() {
+        return langCode + String.format(" (%.1f%%)", confidence * 100);
+    }
+}
@@ -2,10 +2,11 @@ package language;
 
 import db.LanguageProfileDAO;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Implementa um algoritmo de detecção de idioma baseado em análise de frequência de caracteres.
@@ -13,8 +14,16 @@ import java.util.stream.Collectors;
  */
 public class LanguageDetector {
 
-    private LanguageProfileDAO profileDAO;
+    // Fração mínima dos caracteres do texto para que uma escrita seja considerada dominante.
+    private static final double MIN_INPUT_SCRIPT_SHARE = 0.2;
+    private static final Character.UnicodeScript[] SCRIPTS = Character.UnicodeScript.values();
+
+    private LanguageProfileDAO profileDAO; // null quando o detector não persiste perfis
     private Map<String, Map<Character, Double>> loadedProfiles;
+    private ProfileMatrix profileMatrix; // Perfis em layout contíguo para o cálculo vetorizado
+    private ScriptIndex scriptIndex; // Perfis agrupados por escrita Unicode para podar candidatos
+    private ProfileScorer scorer;
+    private final boolean useScriptIndex;
 
     public LanguageDetector() {
         this.profileDAO = new LanguageProfileDAO();
@@ -22,6 +31,30 @@ public class LanguageDetector {
         // Complexidade: O(N*K) onde N é o número de idiomas e K é o número médio de caracteres únicos por idioma.
         // Isso ocorre uma vez na inicialização, tornando as detecções subsequentes mais rápidas.
         this.loadedProfiles = profileDAO.getAllProfiles();
+        this.scorer = ProfileScorer.getDefault();
+        this.useScriptIndex = true;
+        rebuildIndexes();
+    }
+
+    /**
+     * Cria o detector a partir de uma cópia dos perfis informados, sem acessar o banco de dados (ex: benchmarks).
+     * Perfis adicionados depois com addOrUpdateLanguageProfile ficam apenas em memória.
+     * Complexidade: O(N*D) para copiar os perfis e montar a matriz e o índice por escrita.
+     */
+    public LanguageDetector(Map<String, Map<Character, Double>> profiles) {
+        this(profiles, true);
+    }
+
+    /**
+     * Igual a {@link #LanguageDetector(Map)}, permitindo desativar o índice por escrita para que
+     * todos os perfis sejam comparados pelo mesmo caminho de detecção (usado no benchmark).
+     */
+    LanguageDetector(Map<String, Map<Character, Double>> profiles, boolean useScriptIndex) {
+        this.profileDAO = null;
+        this.loadedProfiles = new HashMap<>(profiles);
+        this.scorer = ProfileScorer.getDefault();
+        this.useScriptIndex = useScriptIndex;
+        rebuildIndexes();
     }
 
     /**
@@ -31,6 +64,15 @@ public class LanguageDetector {
      * Cada caractere é processado uma vez.
      */
     public Map<Character, Double> calculateCharacterFrequencies(String text) {
+        return calculateCharacterFrequencies(text, null);
+    }
+
+    /**
+     * Igual a {@link #calculateCharacterFrequencies(String)}, contando também, na mesma passada,
+     * quantos caracteres pertencem a cada escrita Unicode (indexado por ordinal, quando scriptCounts não é null).
+     * Complexidade: O(L).
+     */
+    private Map<Character, Double> calculateCharacterFrequencies(String text, int[] scriptCounts) {
         Map<Character, Integer> charCounts = new HashMap<>();
         int totalChars = 0;
 
@@ -41,6 +83,12 @@ public class LanguageDetector {
         for (char c : cleanText.toCharArray()) {
             charCounts.put(c, charCounts.getOrDefault(c, 0) + 1);
             totalChars++;
+            if (scriptCounts != null) {
+                Character.UnicodeScript script = ScriptIndex.scriptOf(c);
+                if (script != null) {
+                    scriptCounts[script.ordinal()]++;
+                }
+            }
         }
 
         Map<Character, Double> frequencies = new HashMap<>();
@@ -54,58 +102,146 @@ public class LanguageDetector {
 
     /**
      * Adiciona ou atualiza um perfil de idioma no banco de dados e na memória.
-     * Complexidade: O(K) para serialização/deserialização e O(1) para inserção no banco.
+     * Detectores criados a partir de um mapa de perfis atualizam apenas a memória.
+     * Complexidade: O(L + N*D). O(L) para as frequências da amostra, O(K) para serialização e inserção no banco,
+     * e O(N*D) para reconstruir a matriz de perfis e as matrizes por escrita, que domina o custo.
      */
     public void addOrUpdateLanguageProfile(String langCode, String sampleText) {
         Map<Character, Double> frequencies = calculateCharacterFrequencies(sampleText);
-        profileDAO.insertProfile(langCode, frequencies);
+        if (profileDAO != null) {
+            profileDAO.insertProfile(langCode, frequencies);
+        }
         loadedProfiles.put(langCode, frequencies); // Atualiza o cache em memória
+        rebuildIndexes(); // Reconstrói as matrizes: O(N*D)
+    }
+
+    /**
+     * Reconstrói a matriz de perfis e o índice por escrita a partir dos perfis carregados.
+     * Complexidade: O(N*D).
+     */
+    private void rebuildIndexes() {
+        this.profileMatrix = new ProfileMatrix(loadedProfiles);
+        this.scriptIndex = new ScriptIndex(loadedProfiles);
     }
 
     /**
      * Detecta o idioma de um texto comparando suas frequências de caracteres com perfis conhecidos.
      * Utiliza a distância euclidiana para medir a similaridade.
-     * Complexidade: O(L + N*K) onde L é o comprimento do texto de entrada, N é o número de perfis de idioma carregados,
-     * e K é o número médio de caracteres únicos nos perfis (para a comparação de distância).
-     * A parte O(L) é para calcular as frequências do texto de entrada.
-     * A parte O(N*K) é para iterar sobre os perfis e calcular a distância.
+     * Complexidade: O(L + C*D) onde L é o comprimento do texto de entrada, C é o número de perfis candidatos
+     * (idiomas que usam as escritas dominantes do texto) e D é o número de caracteres distintos desses perfis.
+     * Sem escrita reconhecida no texto, todos os N perfis são comparados.
      */
     public String detectLanguage(String text) {
-        Map<Character, Double> textFrequencies = calculateCharacterFrequencies(text);
-        String detectedLang = "unknown";
-        double minDistance = Double.MAX_VALUE;
+        List<DetectionResult> results = detectTopLanguages(text, 1);
+        return results.isEmpty() ? "unknown" : results.get(0).getLangCode();
+    }
 
-        for (Map.Entry<String, Map<Character, Double>> entry : loadedProfiles.entrySet()) {
-            String langCode = entry.getKey();
-            Map<Character, Double> profileFrequencies = entry.getValue();
+    /**
+     * Retorna até k idiomas mais prováveis, do mais próximo ao mais distante, com confiança normalizada.
+     * Os candidatos são apenas os idiomas que usam as escritas dominantes do texto, portanto menos de k
+     * resultados podem ser retornados (apenas um, quando só um idioma usa a escrita do texto).
+     * A confiança é a participação do idioma entre esses candidatos (inverso da distância normalizado sobre eles):
+     * indica ambiguidade entre idiomas da mesma escrita (ex: dois primeiros resultados com confiança próxima),
+     * mas não é absoluta e vale 1 quando há um único candidato.
+     * Para rejeitar textos que não se parecem com nenhum perfil, use um limite sobre getDistance().
+     * Com um único candidato, apenas a sua distância é calculada.
+     * Cada matriz de candidatos é comparada em uma única passada (SIMD quando disponível).
+     * Complexidade: O(L + C*D + C*k).
+     */
+    public List<DetectionResult> detectTopLanguages(String text, int k) {
+        List<DetectionResult> results = new ArrayList<>();
+        if (profileMatrix.rows() == 0 || k <= 0) {
+            return results;
+        }
+
+        int[] scriptCounts = new int[SCRIPTS.length];
+        Map<Character, Double> textFrequencies = calculateCharacterFrequencies(text, scriptCounts);
+
+        List<ProfileMatrix> candidates = candidateMatrices(scriptCounts);
+        double[] residual = new double[1];
+        if (candidates.size() == 1 && candidates.get(0).rows() == 1) {
+            ProfileMatrix matrix = candidates.get(0);
+            double[] squared = new double[1];
+            scorer.score(matrix, matrix.project(textFrequencies, residual), squared);
+            results.add(new DetectionResult(matrix.langCode(0), Math.sqrt(squared[0] + residual[0]), 1.0));
+            return results;
+        }
 
-            double distance = calculateEuclideanDistance(textFrequencies, profileFrequencies);
+        // Um idioma com várias escritas pode aparecer em mais de uma matriz; a distância é a mesma em todas.
+        Map<String, Double> distances = new LinkedHashMap<>();
+        for (ProfileMatrix matrix : candidates) {
+            double[] input = matrix.project(textFrequencies, residual);
+            double[] squared = new double[matrix.rows()];
+            scorer.score(matrix, input, squared);
+            for (int row = 0; row < matrix.rows(); row++) {
+                distances.put(matrix.langCode(row), Math.sqrt(squared[row] + residual[0]));
+            }
+        }
 
-            if (distance < minDistance) {
-                minDistance = distance;
-                detectedLang = langCode;
+        double totalWeight = 0;
+        for (double distance : distances.values()) {
+            totalWeight += inverseDistance(distance);
+        }
+
+        // Seleção parcial dos k menores: O(C*k), suficiente para k pequeno.
+        int limit = Math.min(k, distances.size());
+        List<Map.Entry<String, Double>> best = new ArrayList<>(limit + 1);
+        for (Map.Entry<String, Double> entry : distances.entrySet()) {
+            int pos = best.size();
+            while (pos > 0 && best.get(pos - 1).getValue() > entry.getValue()) {
+                pos--;
+            }
+            if (pos < limit) {
+                best.add(pos, entry);
+                if (best.size() > limit) {
+                    best.remove(limit);
+                }
             }
         }
-        return detectedLang;
+
+        for (Map.Entry<String, Double> entry : best) {
+            results.add(new DetectionResult(entry.getKey(), entry.getValue(),
+                    inverseDistance(entry.getValue()) / totalWeight));
+        }
+        return results;
     }
 
     /**
-     * Calcula a distância euclidiana entre dois mapas de frequência de caracteres.
-     * Complexidade: O(K) onde K é o número de caracteres únicos (o maior entre os dois mapas).
-     * Cada caractere presente em pelo menos um dos mapas é processado uma vez.
+     * Seleciona as matrizes de perfis das escritas dominantes do texto.
+     * Se o índice estiver desativado, se o texto não tiver escrita reconhecida, ou se nenhum idioma
+     * carregado usar suas escritas, retorna a matriz com todos os perfis.
+     * Complexidade: O(S) onde S é o número de escritas Unicode.
      */
-    private double calculateEuclideanDistance(Map<Character, Double> freq1, Map<Character, Double> freq2) {
-        Set<Character> allChars = freq1.keySet().stream()
-                                    .collect(Collectors.toSet());
-        allChars.addAll(freq2.keySet());
-
-        double sumOfSquares = 0;
-        for (char c : allChars) {
-            double f1 = freq1.getOrDefault(c, 0.0);
-            double f2 = freq2.getOrDefault(c, 0.0);
-            sumOfSquares += Math.pow(f1 - f2, 2);
+    private List<ProfileMatrix> candidateMatrices(int[] scriptCounts) {
+        List<ProfileMatrix> matrices = new ArrayList<>();
+        if (!useScriptIndex) {
+            matrices.add(profileMatrix);
+            return matrices;
+        }
+        int total = 0;
+        for (int count : scriptCounts) {
+            total += count;
+        }
+        for (int ordinal = 0; ordinal < scriptCounts.length; ordinal++) {
+            if (scriptCounts[ordinal] > 0 && scriptCounts[ordinal] >= total * MIN_INPUT_SCRIPT_SHARE) {
+                ProfileMatrix matrix = scriptIndex.matrixFor(SCRIPTS[ordinal]);
+                if (matrix != null) {
+                    matrices.add(matrix);
+                }
+            }
         }
-        return Math.sqrt(sumOfSquares);
+        if (matrices.isEmpty()) {
+            matrices.add(profileMatrix);
+        }
+        return matrices;
+    }
+
+    /**
+     * Peso usado na normalização da confiança; o epsilon evita divisão por zero em correspondências exatas.
+     * Complexidade: O(1).
+     */
+    private static double inverseDistance(double distance) {
+        return 1.0 / (distance + 1e-9);
     }
 
     /**
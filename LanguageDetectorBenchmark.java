@@ -0,0 +1,173 @@
+package language;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark simples (System.nanoTime) com 10, 100 e 500 perfis sintéticos:
+ * compara o cálculo de distâncias escalar com o vetorizado e mede a latência da detecção
+ * com e sem o índice por escrita quando os perfis se espalham por várias escritas.
+ * Execução: java --add-modules jdk.incubator.vector language.LanguageDetectorBenchmark
+ * Sem o módulo (ou sem compilar o diretório vector/), apenas o caminho escalar é medido.
+ */
+public class LanguageDetectorBenchmark {
+
+    // Letras latinas minúsculas, acentuadas (Latin-1) e dígitos.
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz"
+            + "àáâãäåæçèéêëìíîïðñòóôõöøùúûüýþÿ" + "0123456789";
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 50_000;
+    private static final int DETECTION_ROUNDS = 7; // Rodadas alternadas; reporta-se a mediana
+    private static final int ROUND_ITERATIONS = 20_000;
+
+    // Primeiro caractere de cada escrita usada nos perfis sintéticos; o primeiro é sempre o latino.
+    private static final char[] SCRIPT_BASES = {
+        'a', '\u0430' /* Cyrillic */, '\u03b1' /* Greek */, '\u0627' /* Arabic */, '\u05d0' /* Hebrew */,
+        '\u0915' /* Devanagari */, '\u0e01' /* Thai */, '\u0561' /* Armenian */, '\u10d0' /* Georgian */,
+        '\uac00' /* Hangul */, '\u4e00' /* Han */
+    };
+    private static final int SCRIPT_LETTERS = 24;
+    private static final int LATIN_PROFILES = 10;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        ProfileScorer scalar = new ScalarProfileScorer();
+        ProfileScorer vector = ProfileScorer.getDefault();
+        boolean vectorAvailable = !(vector instanceof ScalarProfileScorer);
+
+        System.out.println("perfis | escalar (ns/op) | vetorial (ns/op)");
+        for (int profileCount : new int[] {10, 100, 500}) {
+            ProfileMatrix matrix = new ProfileMatrix(syntheticProfiles(profileCount, random));
+            double[] input = matrix.project(randomFrequencies(random), new double[1]);
+            double[] distances = new double[matrix.rows()];
+
+            double scalarNs = measure(scalar, matrix, input, distances);
+            String vectorNs = vectorAvailable
+                    ? String.format("%.0f", measure(vector, matrix, input, distances))
+                    : "indisponível";
+            System.out.printf("%6d | %15.0f | %s%n", profileCount, scalarNs, vectorNs);
+        }
+
+        // Latência da detecção de um texto latino: sempre 10 perfis latinos, e os demais perfis
+        // distribuídos entre as outras escritas. Com o índice, apenas os perfis latinos são comparados.
+        System.out.println();
+        System.out.println("perfis | todos os perfis (ns/op) | índice por escrita (ns/op)");
+        String text = latinText(random);
+        for (int profileCount : new int[] {10, 100, 500}) {
+            Map<String, Map<Character, Double>> profiles = multiScriptProfiles(profileCount, random);
+            // Mesmo caminho de detecção (detectTopLanguages), com e sem o índice por escrita.
+            LanguageDetector fullScan = new LanguageDetector(profiles, false);
+            LanguageDetector indexed = new LanguageDetector(profiles);
+
+            // Passada descartada nos dois detectores antes de qualquer medição, para que a ordem
+            // de execução não favoreça nenhum deles na compilação do JIT.
+            timeDetection(fullScan, text, WARMUP_ITERATIONS);
+            timeDetection(indexed, text, WARMUP_ITERATIONS);
+
+            double[] fullScanNs = new double[DETECTION_ROUNDS];
+            double[] indexedNs = new double[DETECTION_ROUNDS];
+            for (int round = 0; round < DETECTION_ROUNDS; round++) {
+                if (round % 2 == 0) {
+                    fullScanNs[round] = timeDetection(fullScan, text, ROUND_ITERATIONS);
+                    indexedNs[round] = timeDetection(indexed, text, ROUND_ITERATIONS);
+                } else {
+                    indexedNs[round] = timeDetection(indexed, text, ROUND_ITERATIONS);
+                    fullScanNs[round] = timeDetection(fullScan, text, ROUND_ITERATIONS);
+                }
+            }
+            System.out.printf("%6d | %23.0f | %.0f%n", profileCount, median(fullScanNs), median(indexedNs));
+        }
+    }
+
+    private static double timeDetection(LanguageDetector detector, String text, int iterations) {
+        int sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += detector.detectLanguage(text).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return (double) elapsed / iterations;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static double measure(ProfileScorer scorer, ProfileMatrix matrix, double[] input, double[] distances) {
+        double sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            scorer.score(matrix, input, distances);
+            sink += distances[0];
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            scorer.score(matrix, input, distances);
+            sink += distances[0];
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) {
+            System.out.println(sink); // Impede que o JIT elimine o laço
+        }
+        return (double) elapsed / MEASURED_ITERATIONS;
+    }
+
+    private static Map<String, Map<Character, Double>> syntheticProfiles(int count, Random random) {
+        Map<String, Map<Character, Double>> profiles = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            profiles.put("l" + i, randomFrequencies(random));
+        }
+        return profiles;
+    }
+
+    private static Map<String, Map<Character, Double>> multiScriptProfiles(int count, Random random) {
+        Map<String, Map<Character, Double>> profiles = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            int script = i < LATIN_PROFILES ? 0 : 1 + i % (SCRIPT_BASES.length - 1);
+            profiles.put("l" + i, scriptFrequencies(SCRIPT_BASES[script], random));
+        }
+        return profiles;
+    }
+
+    private static Map<Character, Double> scriptFrequencies(char base, Random random) {
+        Map<Character, Double> frequencies = new HashMap<>();
+        double total = 0;
+        for (int i = 0; i < SCRIPT_LETTERS; i++) {
+            double weight = random.nextDouble();
+            frequencies.put((char) (base + i), weight);
+            total += weight;
+        }
+        for (Map.Entry<Character, Double> entry : frequencies.entrySet()) {
+            entry.setValue(entry.getValue() / total);
+        }
+        return frequencies;
+    }
+
+    private static String latinText(Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append((char) ('a' + random.nextInt(SCRIPT_LETTERS)));
+        }
+        return sb.toString();
+    }
+
+    private static Map<Character, Double> randomFrequencies(Random random) {
+        Map<Character, Double> frequencies = new HashMap<>();
+        double total = 0;
+        for (int i = 0; i < ALPHABET.length(); i++) {
+            double weight = random.nextDouble();
+            frequencies.put(ALPHABET.charAt(i), weight);
+            total += weight;
+        }
+        for (Map.Entry<Character, Double> entry : frequencies.entrySet()) {
+            entry.setValue(entry.getValue() / total);
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,86 @@
+package language;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representa todos os perfis de idioma como uma matriz contígua (linha = idioma, coluna = caractere).
+ * O layout em um único array permite que os perfis sejam percorridos sequencialmente em uma única passada,
+ * o que favorece o cache da CPU e a vetorização (SIMD).
+ * Complexidade de construção: O(N*D) onde N é o número de idiomas e D é o número de caracteres distintos
+ * entre todos os perfis.
+ */
+public class ProfileMatrix {
+
+    // Cada linha é preenchida com zeros até um múltiplo deste valor, para que as pistas SIMD
+    // (até 8 doubles em 512 bits) não precisem de tratamento de cauda. O VectorProfileScorer
+    // recusa espécies cujo número de pistas não divide este valor.
+    static final int ROW_ALIGNMENT = 8;
+
+    private final String[] langCodes;
+    private final Map<Character, Integer> columnIndex;
+    private final int stride;
+    private final double[] data;
+
+    public ProfileMatrix(Map<String, Map<Character, Double>> profiles) {
+        List<String> codes = new ArrayList<>(profiles.keySet());
+        this.langCodes = codes.toArray(new String[0]);
+
+        this.columnIndex = new HashMap<>();
+        for (Map<Character, Double> frequencies : profiles.values()) {
+            for (Character c : frequencies.keySet()) {
+                columnIndex.putIfAbsent(c, columnIndex.size());
+            }
+        }
+
+        int dimensions = columnIndex.size();
+        this.stride = Math.max(ROW_ALIGNMENT, (dimensions + ROW_ALIGNMENT - 1) / ROW_ALIGNMENT * ROW_ALIGNMENT);
+        this.data = new double[langCodes.length * stride];
+
+        for (int row = 0; row < langCodes.length; row++) {
+            int offset = row * stride;
+            for (Map.Entry<Character, Double> entry : profiles.get(langCodes[row]).entrySet()) {
+                data[offset + columnIndex.get(entry.getKey())] = entry.getValue();
+            }
+        }
+    }
+
+    /**
+     * Projeta as frequências do texto de entrada nas colunas da matriz.
+     * Caracteres que não existem em nenhum perfil contribuem igualmente para a distância de todos os idiomas;
+     * a soma dos seus quadrados é devolvida em {@code residual[0]} para manter a distância euclidiana exata.
+     * Complexidade: O(D + K) onde K é o número de caracteres únicos do texto.
+     */
+    public double[] project(Map<Character, Double> frequencies, double[] residual) {
+        double[] vector = new double[stride];
+        double outside = 0;
+        for (Map.Entry<Character, Double> entry : frequencies.entrySet()) {
+            Integer column = columnIndex.get(entry.getKey());
+            if (column != null) {
+                vector[column] = entry.getValue();
+            } else {
+                outside += entry.getValue() * entry.getValue();
+            }
+        }
+        residual[0] = outside;
+        return vector;
+    }
+
+    public int rows() {
+        return langCodes.length;
+    }
+
+    public int stride() {
+        return stride;
+    }
+
+    public double[] data() {
+        return data;
+    }
+
+    public String langCode(int row) {
+        return langCodes[row];
+    }
+}
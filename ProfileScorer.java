@@ -0,0 +1,54 @@
+package language;
+
+/**
+ * Calcula a distância euclidiana ao quadrado entre um vetor de entrada e cada linha de uma {@link ProfileMatrix}.
+ * Existem duas implementações: {@link VectorProfileScorer}, que usa a Vector API (jdk.incubator.vector),
+ * e {@link ScalarProfileScorer}, usada quando o módulo não está disponível na JVM.
+ */
+public interface ProfileScorer {
+
+    /**
+     * Preenche {@code distances[i]} com a distância ao quadrado entre {@code input} e a linha i da matriz.
+     * Complexidade: O(N*D) onde N é o número de perfis e D é a largura (stride) da matriz.
+     */
+    void score(ProfileMatrix matrix, double[] input, double[] distances);
+
+    /**
+     * Retorna a implementação vetorizada se o módulo jdk.incubator.vector estiver carregado
+     * (ex: java --add-modules jdk.incubator.vector) e a classe tiver sido compilada,
+     * ou a implementação escalar caso contrário.
+     * A escolha é feita uma única vez; as implementações não têm estado e são compartilhadas.
+     * Complexidade: O(1).
+     */
+    static ProfileScorer getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Inicializado na primeira chamada a {@link #getDefault()} (idioma "holder" da JVM).
+     */
+    final class Holder {
+
+        private static final ProfileScorer DEFAULT = select();
+
+        private Holder() {
+        }
+
+        private static ProfileScorer select() {
+            if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                return new ScalarProfileScorer();
+            }
+            try {
+                // Carregado por reflexão para que esta interface não dependa do módulo incubado.
+                return (ProfileScorer) Class.forName("language.VectorProfileScorer")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                // O diretório vector/ não foi compilado: caso normal do build padrão.
+                return new ScalarProfileScorer();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Vector API indisponível, usando cálculo escalar: " + e);
+                return new ScalarProfileScorer();
+            }
+        }
+    }
+}
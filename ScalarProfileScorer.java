@@ -0,0 +1,23 @@
+package language;
+
+/**
+ * Implementação escalar do {@link ProfileScorer}, percorrendo a matriz linha por linha.
+ * Complexidade: O(N*D).
+ */
+public class ScalarProfileScorer implements ProfileScorer {
+
+    @Override
+    public void score(ProfileMatrix matrix, double[] input, double[] distances) {
+        double[] data = matrix.data();
+        int stride = matrix.stride();
+        for (int row = 0; row < matrix.rows(); row++) {
+            int offset = row * stride;
+            double sumOfSquares = 0;
+            for (int col = 0; col < stride; col++) {
+                double diff = data[offset + col] - input[col];
+                sumOfSquares += diff * diff;
+            }
+            distances[row] = sumOfSquares;
+        }
+    }
+}
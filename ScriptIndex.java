@@ -0,0 +1,80 @@
+package language;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice dos perfis de idioma por escrita Unicode (Latin, Cyrillic, Arabic, Han, Devanagari...).
+ * Cada escrita aponta para uma {@link ProfileMatrix} contendo apenas os idiomas que a utilizam,
+ * de modo que a detecção compare o texto somente com os candidatos plausíveis.
+ * Como cada matriz guarda o perfil completo dos seus idiomas, a distância calculada é a mesma
+ * que seria obtida comparando com todos os perfis.
+ * Complexidade de construção: O(N*K) para classificar os perfis mais O(N*D) para montar as matrizes.
+ */
+public class ScriptIndex {
+
+    // Fração mínima da frequência de um perfil para considerar que o idioma usa a escrita.
+    // Baixa o suficiente para idiomas com várias escritas (ex: japonês com Hiragana, Katakana e Han).
+    private static final double MIN_PROFILE_SHARE = 0.05;
+
+    private final Map<Character.UnicodeScript, ProfileMatrix> matricesByScript;
+
+    public ScriptIndex(Map<String, Map<Character, Double>> profiles) {
+        Map<Character.UnicodeScript, List<String>> languagesByScript = new EnumMap<>(Character.UnicodeScript.class);
+        for (Map.Entry<String, Map<Character, Double>> entry : profiles.entrySet()) {
+            Map<Character.UnicodeScript, Double> shares = new EnumMap<>(Character.UnicodeScript.class);
+            double total = 0;
+            for (Map.Entry<Character, Double> frequency : entry.getValue().entrySet()) {
+                Character.UnicodeScript script = scriptOf(frequency.getKey());
+                if (script != null) {
+                    shares.merge(script, frequency.getValue(), Double::sum);
+                    total += frequency.getValue();
+                }
+            }
+            for (Map.Entry<Character.UnicodeScript, Double> share : shares.entrySet()) {
+                if (share.getValue() >= total * MIN_PROFILE_SHARE) {
+                    languagesByScript.computeIfAbsent(share.getKey(), s -> new ArrayList<>()).add(entry.getKey());
+                }
+            }
+        }
+
+        this.matricesByScript = new EnumMap<>(Character.UnicodeScript.class);
+        for (Map.Entry<Character.UnicodeScript, List<String>> entry : languagesByScript.entrySet()) {
+            Map<String, Map<Character, Double>> subset = new HashMap<>();
+            for (String langCode : entry.getValue()) {
+                subset.put(langCode, profiles.get(langCode));
+            }
+            matricesByScript.put(entry.getKey(), new ProfileMatrix(subset));
+        }
+    }
+
+    /**
+     * Retorna a escrita de um caractere, ou null para caracteres comuns a várias escritas
+     * (dígitos, pontuação, marcas combinantes), que não ajudam a distinguir idiomas.
+     * Complexidade: O(log S) onde S é o número de blocos de escrita Unicode.
+     */
+    public static Character.UnicodeScript scriptOf(char c) {
+        if (c < 0x80) {
+            // Caminho rápido para ASCII, evitando a busca binária da tabela Unicode.
+            return Character.isLetter(c) ? Character.UnicodeScript.LATIN : null;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        if (script == Character.UnicodeScript.COMMON
+                || script == Character.UnicodeScript.INHERITED
+                || script == Character.UnicodeScript.UNKNOWN) {
+            return null;
+        }
+        return script;
+    }
+
+    /**
+     * Retorna a matriz com os perfis dos idiomas que usam a escrita, ou null se nenhum a utiliza.
+     * Complexidade: O(1).
+     */
+    public ProfileMatrix matrixFor(Character.UnicodeScript script) {
+        return matricesByScript.get(script);
+    }
+}
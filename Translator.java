@@ -89,7 +89,7 @@ public class Translator {
 
     /**
      * Detecta o idioma de um texto usando o LanguageDetector.
-     * Complexidade: O(L + N*K) conforme definido em LanguageDetector.
+     * Complexidade: O(L + C*D) conforme definido em LanguageDetector.detectLanguage.
      */
     public String detectLanguage(String text) {
         return languageDetector.detectLanguage(text);
@@ -0,0 +1,45 @@
+package language;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementação SIMD do {@link ProfileScorer} usando a Vector API (jdk.incubator.vector).
+ * Processa várias colunas da matriz por instrução; o vetor de entrada é carregado uma vez por bloco
+ * e reutilizado por todas as linhas.
+ * Fica em um diretório de fontes separado (vector/), compilado apenas quando o módulo está disponível,
+ * para que o restante do projeto compile sem ele. Requer --add-modules jdk.incubator.vector.
+ * Complexidade: O(N*D / V) instruções, onde V é o número de pistas (lanes) do vetor.
+ */
+public class VectorProfileScorer implements ProfileScorer {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    public VectorProfileScorer() {
+        // As linhas da ProfileMatrix são preenchidas até um múltiplo de ROW_ALIGNMENT, dispensando o
+        // tratamento de cauda. Em hardware com mais pistas (ex: SVE de 1024 bits ou mais), a
+        // construção falha e ProfileScorer.getDefault() usa a implementação escalar.
+        if (ProfileMatrix.ROW_ALIGNMENT % SPECIES.length() != 0) {
+            throw new UnsupportedOperationException(SPECIES.length() + " pistas não dividem o alinhamento das linhas");
+        }
+    }
+
+    @Override
+    public void score(ProfileMatrix matrix, double[] input, double[] distances) {
+        double[] data = matrix.data();
+        int stride = matrix.stride();
+        assert stride % SPECIES.length() == 0;
+
+        for (int row = 0; row < matrix.rows(); row++) {
+            int offset = row * stride;
+            DoubleVector acc = DoubleVector.zero(SPECIES);
+            for (int col = 0; col < stride; col += SPECIES.length()) {
+                DoubleVector diff = DoubleVector.fromArray(SPECIES, data, offset + col)
+                        .sub(DoubleVector.fromArray(SPECIES, input, col));
+                acc = diff.fma(diff, acc);
+            }
+            distances[row] = acc.reduceLanes(VectorOperators.ADD);
+        }
+    }
+}